@@ -0,0 +1,31 @@
+package xoled.java.misc;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public enum Benchmarks {
+    ;
+
+    /**
+     * Runs benchmarks accepting the regular JMH command line,
+     * but always with the GC allocation profiler attached and
+     * the results written as JSON, so that the output is comparable
+     * with the checked-in baseline.
+     * Unless overridden with {@code -rff}, the results go to {@code jmh-result.json}.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        final CommandLineOptions cmd = new CommandLineOptions(args);
+        final Options options = new OptionsBuilder()
+            .parent(cmd)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(cmd.getResultFormat().orElse(ResultFormatType.JSON))
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,95 @@
+package xoled.java.misc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class CharSequencesBenchmark {
+
+    /**
+     * Total length of the scanned input.
+     */
+    @Param({"64", "1024", "16384"})
+    int inputLength;
+
+    /**
+     * Average length of a single key=value pair, delimiters excluded.
+     * Shorter pairs mean denser delimiters.
+     */
+    @Param({"4", "16", "64"})
+    int pairLength;
+
+    String input;
+    StringBuilder builderInput;
+    /**
+     * Created once, so that the GC profiler only sees what the scanning allocates.
+     */
+    CharSequences.StringPairConsumer consumer;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        input = generate(new Random(42L), inputLength, pairLength);
+        builderInput = new StringBuilder(input);
+        consumer = (kStart, kEnd, vStart, vEnd) -> bh.consume(kStart + kEnd + vStart + vEnd);
+    }
+
+    @Benchmark
+    public void string() {
+        CharSequences.asDelimitedStringPairs(input, '|', '=', consumer);
+    }
+
+    @Benchmark
+    public void stringBuilder() {
+        CharSequences.asDelimitedStringPairs(builderInput, '|', '=', consumer);
+    }
+
+    /**
+     * Produces well-formed input of exactly the requested length, where
+     * every key and value is at least one character long.
+     * Pairs are capped so that there are at least two of them.
+     * The last value absorbs whatever is left to reach the length.
+     */
+    static String generate(Random random, int length, int pairLength) {
+        final StringBuilder sb = new StringBuilder(length);
+        final int maxPair = (length - 3) / 2;
+        int pair = randomPairLength(random, pairLength, maxPair);
+        do {
+            if (sb.length() > 0)
+                sb.append('|');
+            final int key = 1 + random.nextInt(pair - 1);
+            appendLetters(random, sb, key);
+            sb.append('=');
+            appendLetters(random, sb, pair - key);
+            pair = randomPairLength(random, pairLength, maxPair);
+        } while (sb.length() + 2 + pair <= length);
+        appendLetters(random, sb, length - sb.length());
+        return sb.toString();
+    }
+
+    private static int randomPairLength(Random random, int average, int max) {
+        return Math.max(2, Math.min(max, average / 2 + random.nextInt(average + 1)));
+    }
+
+    private static void appendLetters(Random random, StringBuilder sb, int count) {
+        for (int i = 0; i < count; i++)
+            sb.append((char) ('a' + random.nextInt(26)));
+    }
+}
@@ -0,0 +1,91 @@
+package xoled.java.misc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class MapsBenchmark {
+
+    @Param({"16", "1024", "16384"})
+    int size;
+
+    /**
+     * Fraction of keys present in both maps.
+     * Every other common key is given a different value on the right.
+     */
+    @Param({"0.0", "0.5", "1.0"})
+    double overlap;
+
+    @Param({"HashMap", "TreeMap", "ConcurrentHashMap"})
+    String mapType;
+
+    Map<String, String> left;
+    Map<String, String> right;
+    /**
+     * Created once, so that the GC profiler only sees what the diff allocates.
+     */
+    BiConsumer<String, String> forLeftOnly;
+    BiConsumer<String, String> forRightOnly;
+    BiConsumer<String, String> forCommon;
+    TriConsumer<String, String, String> forDiff;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        forLeftOnly = (k, v) -> bh.consume(v);
+        forRightOnly = (k, v) -> bh.consume(v);
+        forCommon = (k, v) -> bh.consume(v);
+        forDiff = (k, lv, rv) -> bh.consume(rv);
+        final Supplier<Map<String, String>> factory = factory(mapType);
+        left = factory.get();
+        right = factory.get();
+        final int common = (int) (size * overlap);
+        for (int i = 0; i < size; i++)
+            left.put(key(i), "v" + i);
+        for (int i = size - common; i < 2 * size - common; i++) {
+            final boolean shared = i < size;
+            right.put(key(i), shared && (i & 1) == 1 ? "w" + i : "v" + i);
+        }
+    }
+
+    @Benchmark
+    public void diff() {
+        Maps.diff(left, right, forLeftOnly, forRightOnly, forCommon, forDiff);
+    }
+
+    private static String key(int i) {
+        return "key" + i;
+    }
+
+    private static Supplier<Map<String, String>> factory(String mapType) {
+        switch (mapType) {
+            case "HashMap":             return HashMap::new;
+            case "TreeMap":             return TreeMap::new;
+            case "ConcurrentHashMap":   return ConcurrentHashMap::new;
+            default:
+                throw new IllegalArgumentException("Map type not supported: " + mapType);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package xoled.java.misc.subject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Covers {@link SubjectTest.Subject}, which is only available from
+ * the test jar of the main module. Placed in the package of its test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class SubjectBenchmark {
+
+    SubjectTest.Subject<SubjectTest.Bean> subject;
+    SubjectTest.Bean bean;
+    List<String> matching;
+    List<String> mismatching;
+
+    @Setup
+    public void setup() {
+        subject = new SubjectTest.Subject<>(SubjectTest.Bean.class)
+            .add("beans")
+            .add(SubjectTest.Bean::int32)
+            .add(SubjectTest.Bean::int64)
+            .add(SubjectTest.Bean::str)
+            .add(SubjectTest.Bean::real)
+            .add(SubjectTest.Bean::decimal);
+        bean = new FixedBean();
+        matching = Arrays.asList("beans", "1234", "5678", "Alpha", "3.14159", "1.23456789");
+        mismatching = Arrays.asList("beans", "1234", "5678", "Alpha", "NOT A REAL", "1.23456789");
+    }
+
+    @Benchmark
+    public String render() {
+        return subject.render(bean, "/");
+    }
+
+    @Benchmark
+    public boolean match() {
+        return subject.match(matching.iterator());
+    }
+
+    @Benchmark
+    public boolean mismatch() {
+        return subject.match(mismatching.iterator());
+    }
+
+    static final class FixedBean implements SubjectTest.Bean {
+        private static final BigDecimal DECIMAL = new BigDecimal("1.23456789");
+
+        @Override
+        public int int32() {
+            return 1234;
+        }
+
+        @Override
+        public long int64() {
+            return 5678;
+        }
+
+        @Override
+        public boolean bool() {
+            return true;
+        }
+
+        @Override
+        public double real() {
+            return 3.14159;
+        }
+
+        @Override
+        public String str() {
+            return "Alpha";
+        }
+
+        @Override
+        public BigDecimal decimal() {
+            return DECIMAL;
+        }
+    }
+}
@@ -32,25 +32,35 @@ public enum CharSequences {
             );
         if (input == null || input.length() == 0)
             return;
-        int kvStart = 0;
-        int kvSepPos = -1;
-        for(int i = 0; i < input.length(); i++) {
-            final char ch = input.charAt(i);
-            if (ch == keyValueDelimiter && kvSepPos < 0) {
-                kvSepPos = i;
-            }
-            if (ch == pairDelimiter) {
-                if (kvSepPos < 0)
-                    throw new IllegalStateException("No key/value separator preceeding delimiter at " + i);
-                consumer.apply(kvStart, kvSepPos, kvSepPos + 1, i);
-                kvStart = i + 1;
-                kvSepPos = -1;
-            }
-        }
-        if (kvSepPos >= 0)
-            consumer.apply(kvStart, kvSepPos, kvSepPos + 1, input.length());
+        if (Metrics.isEnabled())
+            scanInstrumented(input, pairDelimiter, keyValueDelimiter, consumer);
         else
-            throw new IllegalStateException("No key/value separator preceeding EOL");
+            PairScanner.scan(input, pairDelimiter, keyValueDelimiter, consumer);
+    }
+
+    private static void scanInstrumented(
+        CharSequence input,
+        char pairDelimiter,
+        char keyValueDelimiter,
+        StringPairConsumer consumer
+    ) {
+        final int[] pairs = { 0 };
+        // distinguishes malformed input from failures of the consumer itself
+        final boolean[] consuming = { false };
+        final long start = System.nanoTime();
+        try {
+            PairScanner.scan(input, pairDelimiter, keyValueDelimiter, (kStart, kEnd, vStart, vEnd) -> {
+                consuming[0] = true;
+                consumer.apply(kStart, kEnd, vStart, vEnd);
+                consuming[0] = false;
+                pairs[0]++;
+            });
+        } catch (IllegalStateException e) {
+            if (!consuming[0])
+                Metrics.sink().parseFailed(pairs[0], System.nanoTime() - start);
+            throw e;
+        }
+        Metrics.sink().parsed(pairs[0], System.nanoTime() - start);
     }
 
     public interface StringPairConsumer {
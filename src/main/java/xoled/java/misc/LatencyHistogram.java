@@ -0,0 +1,79 @@
+package xoled.java.misc;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two buckets.
+ * Bucket {@code i} counts values in range {@code [2^(i-1), 2^i)},
+ * bucket 0 - zero and negative values.<br>
+ * Every bucket is a {@link LongAdder}, so concurrent recording threads
+ * are spread over separate cells instead of contending on a single counter.
+ * Reads are not atomic across buckets, which is fine for monitoring.
+ */
+public final class LatencyHistogram {
+    public static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        buckets[bucketOf(nanos)].increment();
+    }
+
+    /**
+     * @return Total number of recorded values.
+     */
+    public long count() {
+        long count = 0;
+        for (final LongAdder bucket : buckets)
+            count += bucket.sum();
+        return count;
+    }
+
+    public long count(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * @return Estimate of the value at the given percentile (0-100],
+     *         being the upper bound of the bucket the percentile falls into,
+     *         or 0 if nothing is recorded.
+     * @throws IllegalArgumentException thrown if the percentile is out of range.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (!(percentile > 0 && percentile <= 100))
+            throw new IllegalArgumentException("Percentile is out of range (0-100]: " + percentile);
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            total += counts[i] = buckets[i].sum();
+        final long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen > 0 && seen >= rank)
+                return upperBound(i);
+        }
+        return 0;
+    }
+
+    public void reset() {
+        for (final LongAdder bucket : buckets)
+            bucket.reset();
+    }
+
+    static int bucketOf(long nanos) {
+        return nanos <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * @return Largest value counted by the given bucket.
+     */
+    static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -38,6 +38,41 @@ public enum Maps {
         assert forCommon != null : "forCommon is null";
         assert forDiff != null : "forDiff is null";
 
+        if (Metrics.isEnabled())
+            diffInstrumented(left, right, forLeftOnly, forRightOnly, forCommon, forDiff);
+        else
+            diffUninstrumented(left, right, forLeftOnly, forRightOnly, forCommon, forDiff);
+    }
+
+    private static <K, V> void diffInstrumented(
+        Map<K, V> left,
+        Map<K, V> right,
+        BiConsumer<K, V> forLeftOnly,
+        BiConsumer<K, V> forRightOnly,
+        BiConsumer<K, V> forCommon,
+        TriConsumer<K, V, V> forDiff
+    ) {
+        final int[] counts = new int[4];
+        final long start = System.nanoTime();
+        diffUninstrumented(
+            left,
+            right,
+            (k, v) -> { counts[0]++; forLeftOnly.accept(k, v); },
+            (k, v) -> { counts[1]++; forRightOnly.accept(k, v); },
+            (k, v) -> { counts[2]++; forCommon.accept(k, v); },
+            (k, lv, rv) -> { counts[3]++; forDiff.accept(k, lv, rv); }
+        );
+        Metrics.sink().diffed(counts[0], counts[1], counts[2], counts[3], System.nanoTime() - start);
+    }
+
+    private static <K, V> void diffUninstrumented(
+        Map<K, V> left,
+        Map<K, V> right,
+        BiConsumer<K, V> forLeftOnly,
+        BiConsumer<K, V> forRightOnly,
+        BiConsumer<K, V> forCommon,
+        TriConsumer<K, V, V> forDiff
+    ) {
         if (right == null && left == null)
             return;
         if (right == null) {
@@ -0,0 +1,53 @@
+package xoled.java.misc;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public enum Metrics {
+    ;
+
+    private static final Logger LOG = Logger.getLogger(Metrics.class.getName());
+
+    static final MetricsSink NOOP = new MetricsSink() {};
+
+    /**
+     * Resolved once, so that when no provider is installed the JIT
+     * folds every {@link #isEnabled()} check and the instrumented
+     * branches are eliminated altogether.
+     */
+    private static final MetricsSink SINK = load(Metrics.class.getClassLoader());
+    private static final boolean ENABLED = SINK != NOOP;
+
+    /**
+     * @return {@code true} if a {@link MetricsSink} provider has been found.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return The first {@link MetricsSink} provider found on the class path,
+     *         or a sink doing nothing if there is none.
+     */
+    public static MetricsSink sink() {
+        return SINK;
+    }
+
+    /**
+     * A provider that cannot be loaded disables metrics with a warning rather than
+     * failing class initialization, and so every instrumented utility with it.
+     */
+    static MetricsSink load(ClassLoader classLoader) {
+        try {
+            final Iterator<MetricsSink> providers =
+                ServiceLoader.load(MetricsSink.class, classLoader).iterator();
+            return providers.hasNext() ? providers.next() : NOOP;
+        } catch (ServiceConfigurationError e) {
+            LOG.log(Level.WARNING, "Metrics disabled, failed to load " + MetricsSink.class.getName() + " provider", e);
+            return NOOP;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package xoled.java.misc;
+
+/**
+ * Service provider interface receiving measurements from the instrumented
+ * hot paths of this library. Implementations are discovered once with
+ * {@link java.util.ServiceLoader}, see {@link Metrics}.<br>
+ * Every callback is invoked synchronously on the calling thread,
+ * so implementations are expected to be thread-safe and cheap.
+ * All methods do nothing by default.
+ */
+public interface MetricsSink {
+    /**
+     * Reports successful completion of
+     * {@link CharSequences#asDelimitedStringPairs(CharSequence, char, char, CharSequences.StringPairConsumer)}.
+     * @param pairs Number of pairs passed to the consumer.
+     * @param nanos Elapsed time, consumer invocations included.
+     */
+    default void parsed(int pairs, long nanos) {}
+
+    /**
+     * Reports malformed input detected by
+     * {@link CharSequences#asDelimitedStringPairs(CharSequence, char, char, CharSequences.StringPairConsumer)}.
+     * @param pairs Number of well-formed pairs passed to the consumer prior to the failure.
+     * @param nanos Elapsed time, consumer invocations included.
+     */
+    default void parseFailed(int pairs, long nanos) {}
+
+    /**
+     * Reports completion of {@link Maps#diff}.
+     * @param leftOnly Number of left-only entries.
+     * @param rightOnly Number of right-only entries.
+     * @param common Number of entries with equal values.
+     * @param diff Number of entries with different values.
+     * @param nanos Elapsed time, callback invocations included.
+     */
+    default void diffed(int leftOnly, int rightOnly, int common, int diff, long nanos) {}
+
+    /**
+     * Reports completion of a subject match.<br>
+     * Nothing in this library calls it, as there is no subject API here yet.
+     * It is meant for subject matchers built on top of the library,
+     * such as the prototype living in the tests.
+     * @param matched Match outcome.
+     * @param nanos Elapsed time.
+     */
+    default void matched(boolean matched, long nanos) {}
+}
@@ -0,0 +1,44 @@
+package xoled.java.misc;
+
+import xoled.java.misc.CharSequences.StringPairConsumer;
+
+/**
+ * Scanning internals of
+ * {@link CharSequences#asDelimitedStringPairs(CharSequence, char, char, StringPairConsumer)}.
+ * This is the Java 8 baseline. The multi-release jar carries
+ * a replacement under {@code META-INF/versions/17}, which the JVM picks
+ * instead of this one when running on a newer JDK.
+ */
+enum PairScanner {
+    ;
+
+    /**
+     * Expects valid delimiters and non-empty input.
+     */
+    static void scan(
+        CharSequence input,
+        char pairDelimiter,
+        char keyValueDelimiter,
+        StringPairConsumer consumer
+    ) {
+        int kvStart = 0;
+        int kvSepPos = -1;
+        for(int i = 0; i < input.length(); i++) {
+            final char ch = input.charAt(i);
+            if (ch == keyValueDelimiter && kvSepPos < 0) {
+                kvSepPos = i;
+            }
+            if (ch == pairDelimiter) {
+                if (kvSepPos < 0)
+                    throw new IllegalStateException("No key/value separator preceeding delimiter at " + i);
+                consumer.apply(kvStart, kvSepPos, kvSepPos + 1, i);
+                kvStart = i + 1;
+                kvSepPos = -1;
+            }
+        }
+        if (kvSepPos >= 0)
+            consumer.apply(kvStart, kvSepPos, kvSepPos + 1, input.length());
+        else
+            throw new IllegalStateException("No key/value separator preceeding EOL");
+    }
+}
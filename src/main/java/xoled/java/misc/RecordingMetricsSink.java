@@ -0,0 +1,94 @@
+package xoled.java.misc;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MetricsSink} accumulating counters and latency histograms in memory.
+ * Can be registered as a provider directly, or polled by an adapter
+ * exporting the values to a metrics backend.
+ */
+public class RecordingMetricsSink implements MetricsSink {
+    private final LongAdder pairsParsed = new LongAdder();
+    private final LongAdder parseErrors = new LongAdder();
+    private final LongAdder leftOnly = new LongAdder();
+    private final LongAdder rightOnly = new LongAdder();
+    private final LongAdder common = new LongAdder();
+    private final LongAdder diff = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    private final LatencyHistogram diffLatency = new LatencyHistogram();
+    private final LatencyHistogram matchLatency = new LatencyHistogram();
+
+    @Override
+    public void parsed(int pairs, long nanos) {
+        pairsParsed.add(pairs);
+        parseLatency.record(nanos);
+    }
+
+    @Override
+    public void parseFailed(int pairs, long nanos) {
+        pairsParsed.add(pairs);
+        parseErrors.increment();
+        parseLatency.record(nanos);
+    }
+
+    @Override
+    public void diffed(int leftOnly, int rightOnly, int common, int diff, long nanos) {
+        this.leftOnly.add(leftOnly);
+        this.rightOnly.add(rightOnly);
+        this.common.add(common);
+        this.diff.add(diff);
+        diffLatency.record(nanos);
+    }
+
+    @Override
+    public void matched(boolean matched, long nanos) {
+        (matched ? matches : mismatches).increment();
+        matchLatency.record(nanos);
+    }
+
+    public long pairsParsed() {
+        return pairsParsed.sum();
+    }
+
+    public long parseErrors() {
+        return parseErrors.sum();
+    }
+
+    public long leftOnly() {
+        return leftOnly.sum();
+    }
+
+    public long rightOnly() {
+        return rightOnly.sum();
+    }
+
+    public long common() {
+        return common.sum();
+    }
+
+    public long diff() {
+        return diff.sum();
+    }
+
+    public long matches() {
+        return matches.sum();
+    }
+
+    public long mismatches() {
+        return mismatches.sum();
+    }
+
+    public LatencyHistogram parseLatency() {
+        return parseLatency;
+    }
+
+    public LatencyHistogram diffLatency() {
+        return diffLatency;
+    }
+
+    public LatencyHistogram matchLatency() {
+        return matchLatency;
+    }
+}
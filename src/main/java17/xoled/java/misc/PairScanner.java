@@ -0,0 +1,113 @@
+package xoled.java.misc;
+
+import xoled.java.misc.CharSequences.StringPairConsumer;
+
+/**
+ * Scanning internals of
+ * {@link CharSequences#asDelimitedStringPairs(CharSequence, char, char, StringPairConsumer)}
+ * for Java 17+, packaged under {@code META-INF/versions/17}.<br>
+ * Since compact strings, {@link String#indexOf(int, int)} is a SIMD intrinsic
+ * for both Latin-1 and UTF-16 strings, while on Java 8 it is a plain loop.
+ * So {@link String} input made of long pairs is scanned from delimiter
+ * to delimiter with it. Short pairs and any other {@link CharSequence}
+ * are scanned as in the baseline.
+ */
+enum PairScanner {
+    ;
+
+    /**
+     * Expects valid delimiters and non-empty input.
+     */
+    static void scan(
+        CharSequence input,
+        char pairDelimiter,
+        char keyValueDelimiter,
+        StringPairConsumer consumer
+    ) {
+        if (input instanceof String s)
+            scan(s, pairDelimiter, keyValueDelimiter, consumer);
+        else
+            scanChars(input, pairDelimiter, keyValueDelimiter, consumer);
+    }
+
+    /**
+     * Pairs from this length on are found with the intrinsic.
+     * For shorter ones, setting it up twice per pair costs more
+     * than a char by char scan.
+     */
+    private static final int LONG_PAIR = 32;
+
+    /**
+     * Picks the scanning strategy by the length of the first pair,
+     * presuming the pairs of an input to be alike.
+     */
+    private static void scan(
+        String input,
+        char pairDelimiter,
+        char keyValueDelimiter,
+        StringPairConsumer consumer
+    ) {
+        final int firstPairEnd = indexOf(input, pairDelimiter, 0, input.length());
+        if (firstPairEnd >= LONG_PAIR)
+            scanLongPairs(input, pairDelimiter, keyValueDelimiter, consumer);
+        else
+            scanChars(input, pairDelimiter, keyValueDelimiter, consumer);
+    }
+
+    private static void scanLongPairs(
+        String input,
+        char pairDelimiter,
+        char keyValueDelimiter,
+        StringPairConsumer consumer
+    ) {
+        final int length = input.length();
+        int kvStart = 0;
+        while (true) {
+            final int pairEnd = indexOf(input, pairDelimiter, kvStart, length);
+            final int kvSepPos = indexOf(input, keyValueDelimiter, kvStart, length);
+            if (kvSepPos >= pairEnd)
+                throw new IllegalStateException(pairEnd == length
+                    ? "No key/value separator preceeding EOL"
+                    : "No key/value separator preceeding delimiter at " + pairEnd);
+            consumer.apply(kvStart, kvSepPos, kvSepPos + 1, pairEnd);
+            if (pairEnd == length)
+                return;
+            kvStart = pairEnd + 1;
+        }
+    }
+
+    /**
+     * @return Position of the character, or {@code length} if there is none.
+     */
+    private static int indexOf(String input, char ch, int from, int length) {
+        final int pos = input.indexOf(ch, from);
+        return pos < 0 ? length : pos;
+    }
+
+    private static void scanChars(
+        CharSequence input,
+        char pairDelimiter,
+        char keyValueDelimiter,
+        StringPairConsumer consumer
+    ) {
+        int kvStart = 0;
+        int kvSepPos = -1;
+        for(int i = 0; i < input.length(); i++) {
+            final char ch = input.charAt(i);
+            if (ch == keyValueDelimiter && kvSepPos < 0) {
+                kvSepPos = i;
+            }
+            if (ch == pairDelimiter) {
+                if (kvSepPos < 0)
+                    throw new IllegalStateException("No key/value separator preceeding delimiter at " + i);
+                consumer.apply(kvStart, kvSepPos, kvSepPos + 1, i);
+                kvStart = i + 1;
+                kvSepPos = -1;
+            }
+        }
+        if (kvSepPos >= 0)
+            consumer.apply(kvStart, kvSepPos, kvSepPos + 1, input.length());
+        else
+            throw new IllegalStateException("No key/value separator preceeding EOL");
+    }
+}
@@ -1,6 +1,7 @@
 package xoled.java.misc;
 
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -15,6 +16,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CharSequencesTest {
+    private static final String LONG_KEY = Strings.repeat("k", 40);
+    private static final String LONG_VALUE = Strings.repeat("\u0436", 40);
 
     @ParameterizedTest
     @MethodSource("wellformed_key_value_examples")
@@ -29,6 +32,20 @@ public class CharSequencesTest {
         assertThat(values).containsExactlyEntriesOf(expectedValues);
     }
 
+    @ParameterizedTest
+    @MethodSource("wellformed_key_value_examples")
+    void asDelimitedStringPairs_valid_cases_non_string_input(String input, Map<String, String> expectedValues) {
+        final Map<String, String> values = new LinkedHashMap<>();
+        final StringBuilder sb = new StringBuilder(input);
+        CharSequences.asDelimitedStringPairs(
+            sb,
+            '|',
+            '=',
+            (kStart, kEnd, vStart, vEnd) -> values.put(sb.substring(kStart, kEnd), sb.substring(vStart, vEnd))
+            );
+        assertThat(values).containsExactlyEntriesOf(expectedValues);
+    }
+
     static Stream<Arguments> wellformed_key_value_examples() {
         return Stream.of(
             Arguments.of("k1=v1|k2=v2|k3=v3", ImmutableMap.of("k1", "v1", "k2", "v2","k3", "v3")),
@@ -36,7 +53,13 @@ public class CharSequencesTest {
             Arguments.of("=v", ImmutableMap.of("", "v")),
             Arguments.of("k=v=a", ImmutableMap.of("k", "v=a")),
             Arguments.of("k=v=a|k1==v1", ImmutableMap.of("k", "v=a", "k1", "=v1")),
-            Arguments.of("=", ImmutableMap.of("", ""))
+            Arguments.of("=", ImmutableMap.of("", "")),
+            Arguments.of("k=|=v", ImmutableMap.of("k", "", "", "v")),
+            Arguments.of("k1=v1|k2=v2=|k3=", ImmutableMap.of("k1", "v1", "k2", "v2=", "k3", "")),
+            Arguments.of("\u0416=\u0436|k=v", ImmutableMap.of("\u0416", "\u0436", "k", "v")),
+            Arguments.of(LONG_KEY + "=v=" + LONG_VALUE + "|k=" + LONG_VALUE,
+                ImmutableMap.of(LONG_KEY, "v=" + LONG_VALUE, "k", LONG_VALUE)),
+            Arguments.of(LONG_KEY + "=" + LONG_VALUE, ImmutableMap.of(LONG_KEY, LONG_VALUE))
         );
     }
 
@@ -69,7 +92,12 @@ public class CharSequencesTest {
         return Stream.of(
             Arguments.of("k1=v1|k2v2", IllegalStateException.class),
             Arguments.of("k", IllegalStateException.class),
-            Arguments.of("|", IllegalStateException.class)
+            Arguments.of("|", IllegalStateException.class),
+            Arguments.of("k=v|", IllegalStateException.class),
+            Arguments.of("k|=v", IllegalStateException.class),
+            Arguments.of("k1=v1|k2|k3=v3", IllegalStateException.class),
+            Arguments.of(LONG_KEY + "=" + LONG_VALUE + "|" + LONG_KEY + "|k=v", IllegalStateException.class),
+            Arguments.of(LONG_KEY + "=" + LONG_VALUE + "|" + LONG_KEY, IllegalStateException.class)
         );
     }
 
@@ -0,0 +1,73 @@
+package xoled.java.misc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void buckets_are_powers_of_two() {
+        assertThat(LatencyHistogram.bucketOf(-1)).isEqualTo(0);
+        assertThat(LatencyHistogram.bucketOf(0)).isEqualTo(0);
+        assertThat(LatencyHistogram.bucketOf(1)).isEqualTo(1);
+        assertThat(LatencyHistogram.bucketOf(2)).isEqualTo(2);
+        assertThat(LatencyHistogram.bucketOf(3)).isEqualTo(2);
+        assertThat(LatencyHistogram.bucketOf(4)).isEqualTo(3);
+        assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+        assertThat(LatencyHistogram.upperBound(0)).isEqualTo(0);
+        assertThat(LatencyHistogram.upperBound(2)).isEqualTo(3);
+        assertThat(LatencyHistogram.upperBound(LatencyHistogram.BUCKETS - 1)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void percentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.valueAtPercentile(50)).isEqualTo(0);
+
+        for (int i = 0; i < 90; i++)
+            histogram.record(100);
+        for (int i = 0; i < 10; i++)
+            histogram.record(5000);
+
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.valueAtPercentile(50)).isEqualTo(127);
+        assertThat(histogram.valueAtPercentile(90)).isEqualTo(127);
+        assertThat(histogram.valueAtPercentile(99)).isEqualTo(8191);
+
+        histogram.reset();
+        assertThat(histogram.count()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = { 0, -1, 100.5, 150, Double.NaN })
+    void percentile_out_of_range(double percentile) {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(percentile));
+    }
+
+    @Test
+    void concurrent_recording() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++)
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++)
+                    histogram.record(i);
+            });
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(histogram.count()).isEqualTo(40_000);
+        assertThat(histogram.count(0)).isEqualTo(4);
+    }
+}
@@ -0,0 +1,39 @@
+package xoled.java.misc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static xoled.java.misc.MapsTest.mapOf;
+
+/**
+ * Runs in a separate surefire execution without any {@link MetricsSink} provider,
+ * see the surefire configuration.
+ */
+public class MetricsDisabledTest {
+
+    @Test
+    void no_provider_disables_metrics() {
+        assertThat(Metrics.isEnabled()).isFalse();
+        assertThat(Metrics.sink()).isSameAs(Metrics.NOOP);
+    }
+
+    @Test
+    void utilities_work_without_provider() {
+        final Map<String, String> values = new HashMap<>();
+        final String input = "k1=v1|k2=v2";
+        CharSequences.asDelimitedStringPairs(
+            input,
+            '|',
+            '=',
+            (kStart, kEnd, vStart, vEnd) -> values.put(input.substring(kStart, kEnd), input.substring(vStart, vEnd))
+        );
+        assertThat(values).isEqualTo(mapOf("k1", "v1", "k2", "v2"));
+
+        final Map<String, String> common = new HashMap<>();
+        Maps.diff(values, mapOf("k1", "v1", "k3", "v3"), (k, v) -> {}, (k, v) -> {}, common::put, (k, lv, rv) -> {});
+        assertThat(common).containsOnlyKeys("k1");
+    }
+}
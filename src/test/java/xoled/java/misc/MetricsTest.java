@@ -0,0 +1,208 @@
+package xoled.java.misc;
+
+import com.google.common.collect.Iterators;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import xoled.java.misc.subject.SubjectTest;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static xoled.java.misc.MapsTest.mapOf;
+
+/**
+ * Relies on {@link RecordingMetricsSink} being registered as a provider
+ * in {@code src/test/metrics-provider}, see the surefire configuration.
+ * The opposite case is covered by {@link MetricsDisabledTest}.
+ */
+public class MetricsTest {
+    private RecordingMetricsSink sink;
+    private long pairsParsed;
+    private long parseErrors;
+    private long parseCount;
+    private long diffCount;
+
+    @BeforeEach
+    void setup() {
+        assertThat(Metrics.isEnabled()).isTrue();
+        sink = (RecordingMetricsSink) Metrics.sink();
+        pairsParsed = sink.pairsParsed();
+        parseErrors = sink.parseErrors();
+        parseCount = sink.parseLatency().count();
+        diffCount = sink.diffLatency().count();
+    }
+
+    @Test
+    void asDelimitedStringPairs_reports_parsed_pairs() {
+        CharSequences.asDelimitedStringPairs("k1=v1|k2=v2|k3=v3", '|', '=', (kStart, kEnd, vStart, vEnd) -> {});
+
+        assertThat(sink.pairsParsed() - pairsParsed).isEqualTo(3);
+        assertThat(sink.parseErrors() - parseErrors).isZero();
+        assertThat(sink.parseLatency().count() - parseCount).isEqualTo(1);
+    }
+
+    @Test
+    void asDelimitedStringPairs_reports_malformed_input() {
+        assertThrows(IllegalStateException.class, () ->
+            CharSequences.asDelimitedStringPairs("k1=v1|k2v2", '|', '=', (kStart, kEnd, vStart, vEnd) -> {})
+        );
+
+        assertThat(sink.pairsParsed() - pairsParsed).isEqualTo(1);
+        assertThat(sink.parseErrors() - parseErrors).isEqualTo(1);
+        assertThat(sink.parseLatency().count() - parseCount).isEqualTo(1);
+    }
+
+    @Test
+    void asDelimitedStringPairs_does_not_report_consumer_failure_as_malformed_input() {
+        assertThrows(IllegalStateException.class, () ->
+            CharSequences.asDelimitedStringPairs("k1=v1|k2=v2", '|', '=', (kStart, kEnd, vStart, vEnd) -> {
+                if (kStart > 0)
+                    throw new IllegalStateException("consumer failure");
+            })
+        );
+
+        assertThat(sink.parseErrors() - parseErrors).isZero();
+        assertThat(sink.parseLatency().count() - parseCount).isZero();
+    }
+
+    @Test
+    void diff_reports_categories() {
+        final long leftOnly = sink.leftOnly();
+        final long rightOnly = sink.rightOnly();
+        final long common = sink.common();
+        final long diff = sink.diff();
+
+        Maps.diff(
+            mapOf("A", "a1", "B", "b1", "C", "c1"),
+            mapOf("A", "a1", "B", "b2", "D", "d1", "E", "e1"),
+            (k, v) -> {},
+            (k, v) -> {},
+            (k, v) -> {},
+            (k, lv, rv) -> {}
+        );
+
+        assertThat(sink.leftOnly() - leftOnly).isEqualTo(1);
+        assertThat(sink.rightOnly() - rightOnly).isEqualTo(2);
+        assertThat(sink.common() - common).isEqualTo(1);
+        assertThat(sink.diff() - diff).isEqualTo(1);
+        assertThat(sink.diffLatency().count() - diffCount).isEqualTo(1);
+    }
+
+    @Test
+    void diff_reports_when_one_side_is_null() {
+        final long leftOnly = sink.leftOnly();
+
+        Maps.diff(
+            Collections.singletonMap("A", "a1"),
+            null,
+            (k, v) -> {},
+            (k, v) -> {},
+            (k, v) -> {},
+            (k, lv, rv) -> {}
+        );
+
+        assertThat(sink.leftOnly() - leftOnly).isEqualTo(1);
+        assertThat(sink.diffLatency().count() - diffCount).isEqualTo(1);
+    }
+
+    @Test
+    void match_reports_outcome() {
+        final long matches = sink.matches();
+        final long mismatches = sink.mismatches();
+        final long matchCount = sink.matchLatency().count();
+        final SubjectTest.Subject<SubjectTest.Bean> subject = new SubjectTest.Subject<>(SubjectTest.Bean.class)
+            .add("beans")
+            .add(SubjectTest.Bean::int32);
+
+        assertThat(subject.match(Iterators.forArray("beans", "1234"))).isTrue();
+        assertThat(subject.match(Iterators.forArray("beans", "NaN"))).isFalse();
+        assertThat(subject.match(Iterators.forArray("beans"))).isFalse();
+
+        assertThat(sink.matches() - matches).isEqualTo(1);
+        assertThat(sink.mismatches() - mismatches).isEqualTo(2);
+        assertThat(sink.matchLatency().count() - matchCount).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "xoled.java.misc.NoSuchMetricsSink",
+        "xoled.java.misc.MetricsTest",
+        "xoled.java.misc.MetricsTest$FailingMetricsSink"
+    })
+    void broken_provider_disables_metrics_with_warning(String provider, @TempDir Path dir) throws IOException {
+        final Path services = dir.resolve(MetricsSink.class.getName());
+        Files.write(services, provider.getBytes(StandardCharsets.UTF_8));
+
+        final List<LogRecord> records = new ArrayList<>();
+        final Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        final Logger logger = Logger.getLogger(Metrics.class.getName());
+        logger.addHandler(handler);
+        logger.setUseParentHandlers(false);
+        try {
+            assertThat(Metrics.load(providing(services.toUri().toURL()))).isSameAs(Metrics.NOOP);
+        } finally {
+            logger.removeHandler(handler);
+            logger.setUseParentHandlers(true);
+        }
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).getLevel()).isEqualTo(Level.WARNING);
+        assertThat(records.get(0).getThrown()).isInstanceOf(ServiceConfigurationError.class);
+    }
+
+    @Test
+    void working_provider_is_loaded(@TempDir Path dir) throws IOException {
+        final Path services = dir.resolve(MetricsSink.class.getName());
+        Files.write(services, RecordingMetricsSink.class.getName().getBytes(StandardCharsets.UTF_8));
+
+        assertThat(Metrics.load(providing(services.toUri().toURL()))).isInstanceOf(RecordingMetricsSink.class);
+    }
+
+    /**
+     * @return Class loader serving only the given provider configuration file.
+     */
+    private static ClassLoader providing(URL services) {
+        final String resource = "META-INF/services/" + MetricsSink.class.getName();
+        return new ClassLoader(MetricsTest.class.getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                return name.equals(resource)
+                    ? Collections.enumeration(Collections.singletonList(services))
+                    : super.getResources(name);
+            }
+        };
+    }
+
+    public static class FailingMetricsSink implements MetricsSink {
+        public FailingMetricsSink() {
+            throw new IllegalStateException("provider failure");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package xoled.java.misc;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with failsafe against the packaged jar on JDK 17+,
+ * see the multi-release profile.
+ */
+public class MultiReleaseJarIT {
+
+    @Test
+    void java17_scanner_is_loaded() {
+        final URL scanner = PairScanner.class.getResource("PairScanner.class");
+        assertThat(scanner).isNotNull();
+        assertThat(scanner.toString())
+            .startsWith("jar:")
+            .endsWith("!/META-INF/versions/17/xoled/java/misc/PairScanner.class");
+    }
+}
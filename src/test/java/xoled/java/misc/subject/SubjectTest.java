@@ -4,6 +4,7 @@ import com.google.common.base.Defaults;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 import org.junit.jupiter.api.Test;
+import xoled.java.misc.Metrics;
 
 import java.io.StringReader;
 import java.lang.reflect.InvocationHandler;
@@ -155,7 +156,7 @@ public class SubjectTest {
         assertThat(matched).isTrue();
     }
 
-    interface Bean {
+    public interface Bean {
         int int32();
         long int64();
         boolean bool();
@@ -164,7 +165,7 @@ public class SubjectTest {
         BigDecimal decimal();
     }
 
-    static class Subject<T> {
+    public static class Subject<T> {
         private final Class<T> beanClass;
         private final List<Node<T>> nodes = new ArrayList<>();
         private final Method[] recordedInvocation = { null };
@@ -271,6 +272,15 @@ public class SubjectTest {
         }
 
         public boolean match(Iterator<? extends CharSequence> elements) {
+            if (!Metrics.isEnabled())
+                return matchNodes(elements);
+            final long start = System.nanoTime();
+            final boolean matched = matchNodes(elements);
+            Metrics.sink().matched(matched, System.nanoTime() - start);
+            return matched;
+        }
+
+        private boolean matchNodes(Iterator<? extends CharSequence> elements) {
             for (final Node<T> node : nodes) {
                 if (!elements.hasNext())
                     return false;